@@ -1,5 +1,5 @@
 /**
- * Action 类：表示我要下达的一条指令 (GROW 或 WAIT)。
+ * Action 类：表示我要下达的一条指令 (GROW、SPORE 或 WAIT)。
  */
 public class Action {
 
@@ -8,17 +8,19 @@ public class Action {
         BASIC,
         HARVESTER,
         TENTACLE,
+        SPORER,
+        SPORE,
         WAIT
     }
 
     private ActionType actionType;
-    private int organId; // 父器官ID
+    private int organId; // 父器官ID (SPORE 时为孢子器ID)
     private int x;
     private int y;
     private char direction; // N, E, S, W, X
 
     /**
-     * GROW 动作构造
+     * GROW / SPORE 动作构造 (SPORE 的 direction 为 'X')
      */
     public Action(int organId, int x, int y, ActionType actionType, char direction) {
         this.organId = organId;
@@ -42,6 +44,7 @@ public class Action {
     @Override
     public String toString() {
         // 输出格式： GROW id x y type direction
+        // 或 SPORE id x y
         // 或 WAIT
         switch (actionType) {
             case WAIT:
@@ -52,6 +55,10 @@ public class Action {
                 return String.format("GROW %d %d %d HARVESTER %c", organId, x, y, direction);
             case TENTACLE:
                 return String.format("GROW %d %d %d TENTACLE %c", organId, x, y, direction);
+            case SPORER:
+                return String.format("GROW %d %d %d SPORER %c", organId, x, y, direction);
+            case SPORE:
+                return String.format("SPORE %d %d %d", organId, x, y);
             default:
                 return "WAIT";
         }
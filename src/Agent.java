@@ -1,6 +1,6 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Agent 类：决定本回合要下什么指令。
@@ -8,23 +8,94 @@ import java.util.Random;
  */
 public class Agent {
 
-    private Random rng = new Random();
+    private static final int MAX_TURNS    = 100;
+    private static final int PLAN_HORIZON = 15; // 收入预测最多看多少回合
+
+    // 超时保护：提供保底指令与停止标志
+    private final Watchdog watchdog;
+
+    // 孢子射线表：墙体不变，跨回合复用
+    private SporeRays sporeRays;
+
+    // 当前回合数(从1开始)
+    private int turn = 0;
+
+    // 本次搜索所属的 Watchdog 回合号
+    private int watchdogTurn;
+
+    public Agent(Watchdog watchdog) {
+        this.watchdog = watchdog;
+    }
 
     /**
-     * 主入口：给定当前状态与需要输出的动作数(通常1)，返回一条最优指令
+     * 主入口：给定当前状态与需要输出的动作数(每个生物体一条)，
+     * 按 ROOT id 升序返回每个生物体的最优指令；watchdogTurn 为该输入所属的 Watchdog 回合号
      */
-    public Action getAction(State state, int requiredActionsCount) {
+    public List<Action> getActions(State state, int requiredActionsCount, int watchdogTurn) {
+        turn++;
+        this.watchdogTurn = watchdogTurn;
+
+        // 同步孢子射线(只在器官挡住射线时更新)
+        if (sporeRays == null || !sporeRays.matches(state)) {
+            sporeRays = new SporeRays(state);
+        }
+        sporeRays.sync(state);
+
+        // 我方各生物体的 ROOT id
+        List<Integer> rootIds = new ArrayList<>();
+        for (Entity e : state.myOrgans) {
+            if (e.type == Entity.EntityType.ROOT) {
+                rootIds.add(e.organId);
+            }
+        }
+        Collections.sort(rootIds);
+
+        // 依次为每个生物体选动作；蛋白质共享，前一个的动作先作用到 working 上
+        List<Action> result = new ArrayList<>();
+        State working = state;
+        for (int rootId : rootIds) {
+            if (result.size() >= requiredActionsCount) break;
+            // 已超时输出：剩下的生物体不再生成候选，直接补 WAIT
+            if (watchdog.shouldStop(watchdogTurn)) {
+                System.err.println("Search stopped by watchdog");
+                break;
+            }
+            Action action = getActionForRoot(working, rootId, result.size());
+            result.add(action);
+            working = simulate(working, action);
+        }
+
+        // 数量对不上时补 WAIT
+        while (result.size() < requiredActionsCount) {
+            result.add(new Action());
+        }
+        return result;
+    }
+
+    /**
+     * 只用 rootId 这个生物体的器官，选出一条最优指令；index 为其输出行号
+     */
+    private Action getActionForRoot(State state, int rootId, int index) {
         // 收集所有可行动作
-        List<Action> possibleActions = getAllPossibleActions(state);
+        List<Action> possibleActions = getAllPossibleActions(state, rootId);
 
         if (possibleActions.isEmpty()) {
             return new Action(); // WAIT
         }
 
+        // 保底：先放一个廉价的贪心 GROW，超时至少不会只 WAIT
+        Action greedy = greedyAction(possibleActions);
+        if (greedy != null) {
+            watchdog.offer(watchdogTurn, index, greedy);
+        }
+
         Action bestAction = null;
         int bestScore = Integer.MIN_VALUE;
 
         for (Action action : possibleActions) {
+            if (watchdog.shouldStop(watchdogTurn)) {
+                break;
+            }
             // simulate
             State simulated = simulate(state, action);
             // evaluate
@@ -33,27 +104,47 @@ public class Agent {
             if (score > bestScore) {
                 bestScore = score;
                 bestAction = action;
+                watchdog.offer(watchdogTurn, index, bestAction);
             }
         }
 
         if (bestAction == null) {
-            // fallback: 随机
-            return possibleActions.get(rng.nextInt(possibleActions.size()));
+            // 被叫停、一个也没评估到：用贪心保底
+            return greedy != null ? greedy : new Action();
         }
-        System.err.println("Best Action: " + bestAction + " => score=" + bestScore);
+        System.err.println("Best Action (root " + rootId + "): " + bestAction + " => score=" + bestScore);
         return bestAction;
     }
 
     /**
-     * 收集所有可行动作 (BASIC, HARVESTER, TENTACLE, WAIT)
+     * 不做模拟的廉价选择：优先朝向未采蛋白质源的 HARVESTER(候选已过滤)，其次 BASIC
      */
-    private List<Action> getAllPossibleActions(State state) {
+    private Action greedyAction(List<Action> actions) {
+        Action firstBasic = null;
+        for (Action a : actions) {
+            if (a.getActionType() == Action.ActionType.HARVESTER) {
+                return a;
+            }
+            if (firstBasic == null && a.getActionType() == Action.ActionType.BASIC) {
+                firstBasic = a;
+            }
+        }
+        return firstBasic;
+    }
+
+    /**
+     * 收集 rootId 生物体的所有可行动作 (BASIC, HARVESTER, TENTACLE, SPORER, SPORE, WAIT)
+     */
+    private List<Action> getAllPossibleActions(State state, int rootId) {
         List<Action> actions = new ArrayList<>();
 
         int[][] directions = { {0,-1},{1,0},{0,1},{-1,0} };
         char[] dirChars    = { 'N', 'E', 'S', 'W' };
 
+        Economy economy = new Economy(state);
+
         for (Entity myOrgan : state.myOrgans) {
+            if (myOrgan.organRootId != rootId) continue;
             for (int i=0; i<directions.length; i++) {
                 int dx = directions[i][0];
                 int dy = directions[i][1];
@@ -77,14 +168,49 @@ public class Agent {
                     actions.add(new Action(myOrgan.organId, nx, ny, Action.ActionType.BASIC, 'X'));
                 }
 
-                // 3) 放 HARVESTER (若你想在无蛋白质地图上也造收集器，可保留)
+                // 3) 放 HARVESTER：只朝向尚未被采集的蛋白质源
                 if (state.myC >= 1 && state.myD >= 1) {
-                    actions.add(new Action(myOrgan.organId, nx, ny, Action.ActionType.HARVESTER, dirChar));
+                    for (int j=0; j<directions.length; j++) {
+                        int sx = nx + directions[j][0];
+                        int sy = ny + directions[j][1];
+                        if (state.isOutOfBounds(sx, sy)) continue;
+                        if (!state.isProteinTile(sx, sy)) continue;
+                        if (economy.isHarvested(sx, sy)) continue;
+                        actions.add(new Action(myOrgan.organId, nx, ny, Action.ActionType.HARVESTER, dirChars[j]));
+                    }
+                }
+
+                // 4) 放 SPORER
+                if (state.myB >= 1 && state.myD >= 1) {
+                    actions.add(new Action(myOrgan.organId, nx, ny, Action.ActionType.SPORER, dirChar));
+                }
+            }
+        }
+
+        // 5) SPORE：沿孢子器朝向的射线发射新 ROOT
+        if (state.myA >= 1 && state.myB >= 1 && state.myC >= 1 && state.myD >= 1) {
+            for (Entity sporer : state.ownSporers) {
+                if (sporer.organRootId != rootId) continue;
+                int reach = sporeRays.getReach(sporer.x, sporer.y, sporer.direction);
+                // 本回合其他生物体刚长出的器官不在射线表里，再截断一次
+                for (int i = 0; i < reach; i++) {
+                    int bx = sporeRays.rayX(sporer.x, sporer.y, sporer.direction, i);
+                    int by = sporeRays.rayY(sporer.x, sporer.y, sporer.direction, i);
+                    if (!canGrowOrgan(state, bx, by)) {
+                        reach = i;
+                        break;
+                    }
+                }
+                // 由远到近：评分相同时优先落得更远
+                for (int i = reach - 1; i >= 0; i--) {
+                    int tx = sporeRays.rayX(sporer.x, sporer.y, sporer.direction, i);
+                    int ty = sporeRays.rayY(sporer.x, sporer.y, sporer.direction, i);
+                    actions.add(new Action(sporer.organId, tx, ty, Action.ActionType.SPORE, 'X'));
                 }
             }
         }
 
-        // 4) WAIT
+        // 6) WAIT
         actions.add(new Action()); // WAIT
 
         return actions;
@@ -121,10 +247,21 @@ public class Agent {
             case TENTACLE:
                 growTentacle(newState, action);
                 break;
+            case SPORER:
+                growSporer(newState, action);
+                break;
+            case SPORE:
+                sporeRoot(newState, action);
+                break;
             default:
                 break;
         }
 
+        // 长在蛋白质源上会吸收它
+        if (action.getActionType() != Action.ActionType.WAIT) {
+            newState.absorbProtein(action.getX(), action.getY());
+        }
+
         // 如果需要也可在这里模拟TENTACLE攻击，但通常比赛引擎会下一回合才呈现效果
         return newState;
     }
@@ -138,7 +275,7 @@ public class Agent {
                 generateOrganId(s),
                 Direction.NONE,
                 action.getOrganId(),
-                0
+                rootIdOf(s, action.getOrganId())
         );
         s.allEntities.add(basic);
         s.myOrgans.add(basic);
@@ -155,7 +292,7 @@ public class Agent {
                 generateOrganId(s),
                 dir,
                 action.getOrganId(),
-                0
+                rootIdOf(s, action.getOrganId())
         );
         s.allEntities.add(harv);
         s.myOrgans.add(harv);
@@ -175,13 +312,54 @@ public class Agent {
                 generateOrganId(s),
                 dir,
                 action.getOrganId(),
-                0
+                rootIdOf(s, action.getOrganId())
         );
         s.allEntities.add(tent);
         s.myOrgans.add(tent);
         s.ownTentacles.add(tent);
     }
 
+    private void growSporer(State s, Action action) {
+        // 消耗B, D
+        s.myB -= 1;
+        s.myD -= 1;
+
+        Direction dir = Direction.fromSymbol(action.getDirection());
+        Entity sporer = new Entity(
+                action.getX(), action.getY(),
+                Entity.EntityType.SPORER,
+                Entity.Owner.SELF,
+                generateOrganId(s),
+                dir,
+                action.getOrganId(),
+                rootIdOf(s, action.getOrganId())
+        );
+        s.allEntities.add(sporer);
+        s.myOrgans.add(sporer);
+        s.ownSporers.add(sporer);
+    }
+
+    private void sporeRoot(State s, Action action) {
+        // 消耗A, B, C, D 各一
+        s.myA -= 1;
+        s.myB -= 1;
+        s.myC -= 1;
+        s.myD -= 1;
+
+        int id = generateOrganId(s);
+        Entity root = new Entity(
+                action.getX(), action.getY(),
+                Entity.EntityType.ROOT,
+                Entity.Owner.SELF,
+                id,
+                Direction.NONE,
+                0,
+                id
+        );
+        s.allEntities.add(root);
+        s.myOrgans.add(root);
+    }
+
     /**
      * 简易评估函数
      */
@@ -190,6 +368,13 @@ public class Agent {
         double wDiffOrganCount  = 5.0;
         double wMyResources     = 2.0;
         double wTentacleFacing  = 25.0; // TENTACLE正面朝对手organ的价值
+        double wRootCount       = 40.0; // 每多一个ROOT(独立生长点)的价值
+        double wSporerLane      = 15.0; // 存在可发射孢子的射线
+        double wRootProtein     = 6.0;  // ROOT 附近每个未被采集的蛋白质源(越近越高)
+        int    rootProteinRange = 3;    // ROOT 附近的曼哈顿距离范围
+        double wProjected       = 3.0;  // 剩余回合内预计收入(每种封顶)的价值
+        double wIncomeType      = 20.0; // 每种有收入的蛋白质
+        int    projectedCap     = 30;   // 单种蛋白质预计收入的封顶
 
         double score = 0.0;
 
@@ -218,9 +403,57 @@ public class Agent {
             }
         }
 
+        Economy economy = new Economy(s);
+
+        // 5) ROOT 数量：多一个根就多一个生长点；
+        //    根附近有未被采集的蛋白质源则加分，决定孢子落点
+        for (Entity e : s.myOrgans) {
+            if (e.type != Entity.EntityType.ROOT) continue;
+            score += wRootCount;
+            for (Entity p : s.proteins) {
+                if (economy.isHarvested(p.x, p.y)) continue;
+                int dist = Math.abs(p.x - e.x) + Math.abs(p.y - e.y);
+                if (dist >= 1 && dist <= rootProteinRange) {
+                    score += wRootProtein * (rootProteinRange + 1 - dist);
+                }
+            }
+        }
+
+        // 6) 至少有一个孢子器朝向足够长的射线(只计一次，避免堆孢子器)
+        if (sporeRays != null) {
+            for (Entity sporer : s.ownSporers) {
+                if (sporeRays.getReach(sporer.x, sporer.y, sporer.direction) >= 2) {
+                    score += wSporerLane;
+                    break;
+                }
+            }
+        }
+
+        // 7) 收入：剩余回合内的预计收入(不含当前库存，库存已在 3) 计过)，
+        //    每种封顶，避免囤一种饿死其他
+        int horizon = Math.max(0, Math.min(PLAN_HORIZON, MAX_TURNS - turn));
+        int[] projected = economy.project(horizon);
+        for (int t = 0; t < 4; t++) {
+            int gained = projected[t] - economy.stock[t];
+            score += wProjected * Math.min(gained, projectedCap);
+        }
+        score += wIncomeType * economy.incomeTypes();
+
         return (int) score;
     }
 
+    /**
+     * 父器官所属生物体的 ROOT id
+     */
+    private int rootIdOf(State s, int parentId) {
+        for (Entity e : s.myOrgans) {
+            if (e.organId == parentId) {
+                return e.organRootId;
+            }
+        }
+        return 0;
+    }
+
     private int generateOrganId(State s) {
         int maxId = 0;
         for (Entity e : s.allEntities) {
@@ -0,0 +1,87 @@
+/**
+ * Economy 类：我方蛋白质收入模型。
+ * - 每个 HARVESTER 面向的格子若是蛋白质源，则每回合收入 +1
+ * - 多个收集器对着同一个源只算一次
+ * - project(n)：按当前收入预测 n 回合后的库存；评估函数用 project(n) - stock 作为预计收入
+ */
+public class Economy {
+
+    // 下标 0..3 对应 A, B, C, D
+    public final int[] stock = new int[4];
+    public final int[] income = new int[4];
+
+    private final int width;
+    private final boolean[] harvested;
+
+    public Economy(State s) {
+        this.width = s.width;
+        this.harvested = new boolean[s.width * s.height];
+
+        stock[0] = s.myA;
+        stock[1] = s.myB;
+        stock[2] = s.myC;
+        stock[3] = s.myD;
+
+        for (Entity harv : s.ownHarvesters) {
+            int fx = harv.x;
+            int fy = harv.y;
+            switch (harv.direction) {
+                case NORTH: fy--; break;
+                case EAST:  fx++; break;
+                case SOUTH: fy++; break;
+                case WEST:  fx--; break;
+                default:    continue;
+            }
+            if (s.isOutOfBounds(fx, fy)) continue;
+
+            Entity source = s.getProteinAt(fx, fy);
+            if (source == null) continue;
+
+            // 同一个源重复的收集器去掉
+            int cell = fy * width + fx;
+            if (harvested[cell]) continue;
+            harvested[cell] = true;
+
+            income[proteinIndex(source.type)]++;
+        }
+    }
+
+    /**
+     * (x,y) 处的蛋白质源是否已有收集器在采
+     */
+    public boolean isHarvested(int x, int y) {
+        return harvested[y * width + x];
+    }
+
+    /**
+     * 预测 turns 回合后的库存 (A, B, C, D)
+     */
+    public int[] project(int turns) {
+        int[] projected = new int[4];
+        for (int t = 0; t < 4; t++) {
+            projected[t] = stock[t] + income[t] * turns;
+        }
+        return projected;
+    }
+
+    /**
+     * 有收入的蛋白质种类数
+     */
+    public int incomeTypes() {
+        int n = 0;
+        for (int t = 0; t < 4; t++) {
+            if (income[t] > 0) n++;
+        }
+        return n;
+    }
+
+    public static int proteinIndex(Entity.EntityType type) {
+        switch (type) {
+            case A: return 0;
+            case B: return 1;
+            case C: return 2;
+            case D: return 3;
+            default: return -1;
+        }
+    }
+}
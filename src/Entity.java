@@ -9,7 +9,8 @@ public class Entity implements Cloneable {
         BASIC,
         HARVESTER,
         TENTACLE,
-        A, B, C, D // 虽然本关用不到，但保留
+        SPORER,
+        A, B, C, D // 蛋白质源
     }
 
     public enum Owner {
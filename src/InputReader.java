@@ -0,0 +1,121 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.NoSuchElementException;
+import java.util.StringTokenizer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * InputReader 类：后台线程读取标准输入。
+ * - 按协议数行：首行为地图大小；每回合以 entityCount 行开始，
+ *   其后 entityCount 行实体 + 2 行蛋白质 + 1 行 requiredActionsCount
+ * - 读到回合首行立刻 arm Watchdog(计时从输入到达算起，而不是从主线程读到它算起)
+ * - 每一行都带上所属回合号，主线程用 turn() 取得
+ * - nextInt()/next() 与 Scanner 用法一致
+ */
+public class InputReader implements Runnable {
+
+    private static final class Line {
+        final String text;
+        final int turn;
+
+        Line(String text, int turn) {
+            this.text = text;
+            this.turn = turn;
+        }
+    }
+
+    // 输入结束标记
+    private static final Line EOF = new Line(null, -1);
+
+    private final BufferedReader reader;
+    private final Watchdog watchdog;
+    private final long firstTurnBudgetMs;
+    private final long turnBudgetMs;
+    private final BlockingQueue<Line> lines = new LinkedBlockingQueue<>();
+
+    private StringTokenizer tokens = new StringTokenizer("");
+    private int turn;
+    private boolean eof;
+
+    public InputReader(InputStream in, Watchdog watchdog, long firstTurnBudgetMs, long turnBudgetMs) {
+        this.reader = new BufferedReader(new InputStreamReader(in));
+        this.watchdog = watchdog;
+        this.firstTurnBudgetMs = firstTurnBudgetMs;
+        this.turnBudgetMs = turnBudgetMs;
+    }
+
+    /**
+     * 启动读取线程(整局只调用一次)
+     */
+    public void start() {
+        Thread thread = new Thread(this, "input");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        boolean header = true;
+        int remaining = 0; // 本回合还剩几行
+        int turn = 0;
+        try {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                if (header) {
+                    header = false;
+                } else if (remaining == 0) {
+                    // 回合首行：正常对局里上一回合此时已输出；
+                    // 输入提前到达(如本地管道测试)则等上一回合输出后再计时
+                    while (!watchdog.isIdle()) {
+                        LockSupport.parkNanos(100_000L);
+                    }
+                    turn = watchdog.arm(turn == 0 ? firstTurnBudgetMs : turnBudgetMs);
+                    remaining = Integer.parseInt(text.trim()) + 3;
+                } else {
+                    remaining--;
+                }
+                lines.put(new Line(text, turn));
+            }
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Input reader stopped: " + e);
+        }
+        lines.add(EOF);
+    }
+
+    /**
+     * 最近读取的 token 所属的回合号
+     */
+    public int turn() {
+        return turn;
+    }
+
+    public int nextInt() {
+        return Integer.parseInt(next());
+    }
+
+    public String next() {
+        while (!tokens.hasMoreTokens()) {
+            if (eof) {
+                throw new NoSuchElementException();
+            }
+            Line line;
+            try {
+                line = lines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NoSuchElementException();
+            }
+            if (line == EOF) {
+                eof = true;
+                continue;
+            }
+            tokens = new StringTokenizer(line.text);
+            turn = line.turn;
+        }
+        return tokens.nextToken();
+    }
+}
@@ -1,27 +1,39 @@
-import java.util.Scanner;
+import java.util.List;
 
 /**
  * Player 类：比赛程序的入口。
- * - 读取输入
+ * - 读取输入(InputReader 后台线程，输入到达即开始计时)
  * - 构建 State
- * - 调用 Agent.getAction(...)
- * - 输出指令
+ * - 调用 Agent.getActions(...)
+ * - 输出指令(由 Watchdog 保证超时前一定有输出)
  */
 public class Player {
 
+    // 每回合时间预算(毫秒)，留出余量给输出与 IO
+    private static final long FIRST_TURN_BUDGET_MS = 900;
+    private static final long TURN_BUDGET_MS       = 45;
+
     public static void main(String[] args) {
-        Scanner in = new Scanner(System.in);
+        // 超时保护
+        Watchdog watchdog = new Watchdog();
+        watchdog.start();
+
+        // 输入线程：每回合第一行到达时 arm Watchdog
+        InputReader in = new InputReader(System.in, watchdog, FIRST_TURN_BUDGET_MS, TURN_BUDGET_MS);
+        in.start();
 
         // 读取地图宽度与高度
         int width = in.nextInt();
         int height = in.nextInt();
 
         // 构造一个 Agent
-        Agent agent = new Agent();
+        Agent agent = new Agent(watchdog);
 
         while (true) {
             // 每回合读取 entityCount
             int entityCount = in.nextInt();
+            // 本回合输入所属的回合号(计时已由 InputReader 在输入到达时开始)
+            int turn = in.turn();
             State state = new State(width, height);
 
             // 读取所有实体信息
@@ -50,19 +62,27 @@ public class Player {
             state.oppC = in.nextInt();
             state.oppD = in.nextInt();
 
-            // 读取 requiredActionsCount (通常为1)
+            // 读取 requiredActionsCount (每个生物体一条)
             int requiredActionsCount = in.nextInt();
+            watchdog.expect(turn, requiredActionsCount);
 
             // 调试打印(可选)
             System.err.println("=== NEW TURN ===");
             System.err.println("My Proteins: A=" + state.myA + " B=" + state.myB + " C=" + state.myC + " D=" + state.myD);
             System.err.println("Opp Proteins: A=" + state.oppA + " B=" + state.oppB + " C=" + state.oppC + " D=" + state.oppD);
 
-            // 获取行动
-            Action action = agent.getAction(state, requiredActionsCount);
+            // 获取行动(每个生物体一条)
+            List<Action> actions = agent.getActions(state, requiredActionsCount, turn);
 
-            // 输出行动命令
-            System.out.println(action);
+            // 输出行动命令，每行一条(若 Watchdog 已超时输出则跳过)
+            StringBuilder command = new StringBuilder();
+            for (int i = 0; i < actions.size(); i++) {
+                if (i > 0) command.append('\n');
+                command.append(actions.get(i));
+            }
+            if (!watchdog.answer(turn, command.toString())) {
+                System.err.println("Late actions dropped: " + actions);
+            }
         }
     }
 }
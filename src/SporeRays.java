@@ -0,0 +1,172 @@
+import java.util.List;
+
+/**
+ * SporeRays 类：预计算每个格子、每个方向上的孢子射线。
+ * - rays[cell][dir]：从 cell 出发沿 dir 的所有格子(遇墙或出界停止)，墙不会变化，只建一次
+ * - reach[cell][dir]：射线上可用的长度，遇到器官截断
+ * 只有当新器官挡住射线时才更新 reach；器官消失时整体重算。
+ */
+public class SporeRays {
+
+    // 方向顺序与 Direction 的前四个一致：N, E, S, W
+    private static final int[] DX = { 0, 1, 0, -1 };
+    private static final int[] DY = { -1, 0, 1, 0 };
+
+    private final int width;
+    private final int height;
+
+    private final int[][][] rays;
+    private final int[][] reach;
+    private boolean[] occupied;
+
+    public SporeRays(State state) {
+        this.width = state.width;
+        this.height = state.height;
+
+        int cells = width * height;
+        boolean[] wall = new boolean[cells];
+        for (Entity w : state.walls) {
+            wall[index(w.x, w.y)] = true;
+        }
+
+        this.rays = new int[cells][4][];
+        this.reach = new int[cells][4];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = index(x, y);
+                for (int d = 0; d < 4; d++) {
+                    rays[cell][d] = buildRay(wall, x, y, d);
+                }
+            }
+        }
+        this.occupied = new boolean[cells];
+        resetReach();
+    }
+
+    private int[] buildRay(boolean[] wall, int x, int y, int d) {
+        int len = 0;
+        int nx = x + DX[d];
+        int ny = y + DY[d];
+        while (!isOutOfBounds(nx, ny) && !wall[index(nx, ny)]) {
+            len++;
+            nx += DX[d];
+            ny += DY[d];
+        }
+        int[] ray = new int[len];
+        nx = x + DX[d];
+        ny = y + DY[d];
+        for (int i = 0; i < len; i++) {
+            ray[i] = index(nx, ny);
+            nx += DX[d];
+            ny += DY[d];
+        }
+        return ray;
+    }
+
+    private void resetReach() {
+        for (int cell = 0; cell < rays.length; cell++) {
+            for (int d = 0; d < 4; d++) {
+                reach[cell][d] = rays[cell][d].length;
+            }
+        }
+    }
+
+    /**
+     * 与当前回合的器官占用同步。
+     * 新占用的格子只截断经过它的射线；有格子被释放则整体重算。
+     */
+    public void sync(State state) {
+        boolean[] now = new boolean[width * height];
+        markOrgans(now, state.myOrgans);
+        markOrgans(now, state.oppOrgans);
+
+        boolean freed = false;
+        for (int cell = 0; cell < now.length; cell++) {
+            if (occupied[cell] && !now[cell]) {
+                freed = true;
+                break;
+            }
+        }
+
+        if (freed) {
+            resetReach();
+            for (int cell = 0; cell < now.length; cell++) {
+                if (now[cell]) block(cell);
+            }
+        } else {
+            for (int cell = 0; cell < now.length; cell++) {
+                if (now[cell] && !occupied[cell]) block(cell);
+            }
+        }
+        occupied = now;
+    }
+
+    private void markOrgans(boolean[] marks, List<Entity> organs) {
+        for (Entity e : organs) {
+            if (!isOutOfBounds(e.x, e.y)) {
+                marks[index(e.x, e.y)] = true;
+            }
+        }
+    }
+
+    /**
+     * 格子 cell 被占用：沿反方向找到所有以它为射线成员的起点，截断其 reach
+     */
+    private void block(int cell) {
+        for (int d = 0; d < 4; d++) {
+            int[] origins = rays[cell][(d + 2) % 4];
+            for (int k = 0; k < origins.length; k++) {
+                // cell 在 origins[k] 的 d 方向射线上位于下标 k
+                int origin = origins[k];
+                if (reach[origin][d] > k) {
+                    reach[origin][d] = k;
+                }
+            }
+        }
+    }
+
+    /**
+     * 射线上可用格子数
+     */
+    public int getReach(int x, int y, Direction dir) {
+        int d = dirIndex(dir);
+        if (d < 0 || isOutOfBounds(x, y)) return 0;
+        return reach[index(x, y)][d];
+    }
+
+    /**
+     * 射线上第 i 个格子(0 为相邻格)的 x 坐标
+     */
+    public int rayX(int x, int y, Direction dir, int i) {
+        return rays[index(x, y)][dirIndex(dir)][i] % width;
+    }
+
+    /**
+     * 射线上第 i 个格子(0 为相邻格)的 y 坐标
+     */
+    public int rayY(int x, int y, Direction dir, int i) {
+        return rays[index(x, y)][dirIndex(dir)][i] / width;
+    }
+
+    public boolean matches(State state) {
+        return state.width == width && state.height == height;
+    }
+
+    private int index(int x, int y) {
+        return y * width + x;
+    }
+
+    private boolean isOutOfBounds(int x, int y) {
+        return (x < 0 || x >= width || y < 0 || y >= height);
+    }
+
+    private static int dirIndex(Direction dir) {
+        switch (dir) {
+            case NORTH: return 0;
+            case EAST:  return 1;
+            case SOUTH: return 2;
+            case WEST:  return 3;
+            default:    return -1;
+        }
+    }
+}
@@ -24,6 +24,7 @@ public class State implements Cloneable {
     // 我方收集器、触手等的分类
     public List<Entity> ownHarvesters = new ArrayList<>();
     public List<Entity> ownTentacles = new ArrayList<>();
+    public List<Entity> ownSporers = new ArrayList<>();
 
     // 对手收集器、触手
     public List<Entity> enemyHarvesters = new ArrayList<>();
@@ -32,7 +33,7 @@ public class State implements Cloneable {
     // 墙
     public List<Entity> walls = new ArrayList<>();
 
-    // (此关无蛋白质源，但保留结构)
+    // 蛋白质源
     public List<Entity> proteins = new ArrayList<>();
 
     /**
@@ -73,12 +74,15 @@ public class State implements Cloneable {
                 case BASIC:
                 case HARVESTER:
                 case TENTACLE:
+                case SPORER:
                     if (cloned.owner == Entity.Owner.SELF) {
                         myOrgans.add(cloned);
                         if (cloned.type == Entity.EntityType.HARVESTER) {
                             ownHarvesters.add(cloned);
                         } else if (cloned.type == Entity.EntityType.TENTACLE) {
                             ownTentacles.add(cloned);
+                        } else if (cloned.type == Entity.EntityType.SPORER) {
+                            ownSporers.add(cloned);
                         }
                     } else if (cloned.owner == Entity.Owner.OPPONENT) {
                         oppOrgans.add(cloned);
@@ -142,12 +146,15 @@ public class State implements Cloneable {
             case BASIC:
             case HARVESTER:
             case TENTACLE:
+            case SPORER:
                 if (owner == Entity.Owner.SELF) {
                     myOrgans.add(entity);
                     if (eType == Entity.EntityType.HARVESTER) {
                         ownHarvesters.add(entity);
                     } else if (eType == Entity.EntityType.TENTACLE) {
                         ownTentacles.add(entity);
+                    } else if (eType == Entity.EntityType.SPORER) {
+                        ownSporers.add(entity);
                     }
                 } else if (owner == Entity.Owner.OPPONENT) {
                     oppOrgans.add(entity);
@@ -203,6 +210,30 @@ public class State implements Cloneable {
         return false;
     }
 
+    public Entity getProteinAt(int x, int y) {
+        for (Entity p : proteins) {
+            if (p.x == x && p.y == y) return p;
+        }
+        return null;
+    }
+
+    /**
+     * 器官长在蛋白质源上：源被吸收，对应库存 +3
+     */
+    public void absorbProtein(int x, int y) {
+        Entity p = getProteinAt(x, y);
+        if (p == null) return;
+        proteins.remove(p);
+        allEntities.remove(p);
+        switch (p.type) {
+            case A: myA += 3; break;
+            case B: myB += 3; break;
+            case C: myC += 3; break;
+            case D: myD += 3; break;
+            default: break;
+        }
+    }
+
     /**
      * 如果要克隆，使用拷贝构造
      */
@@ -0,0 +1,142 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Watchdog 类：回合超时保护。
+ * - arm(...) 由 InputReader 在回合输入到达时调用，启动计时
+ * - expect(...) 读到 requiredActionsCount 后为每个生物体预置一条 WAIT
+ * - 搜索过程中用 offer(...) 更新每个生物体当前最好的指令(预先转成字符串)
+ * - 到达截止时间仍未输出，则直接打印全部预存指令；本回合的搜索随之停止
+ * 每回合只会输出一次：谁先调用 answer(...) 谁输出。
+ * 主线程的调用都带回合号，过期回合的调用不会影响当前回合。
+ */
+public class Watchdog implements Runnable {
+
+    private static final String WAIT = "WAIT";
+
+    /**
+     * 某一回合的保底指令；数组长度即条数，整体替换保证二者一致
+     */
+    private static final class Fallback {
+        final int turn;
+        final AtomicReferenceArray<String> lines;
+
+        Fallback(int turn, int count) {
+            this.turn = turn;
+            this.lines = new AtomicReferenceArray<>(count);
+            for (int i = 0; i < count; i++) {
+                lines.set(i, WAIT);
+            }
+        }
+    }
+
+    // 已计时的回合号 / 已输出的回合号，二者相等表示空闲
+    private volatile int armedTurn = 0;
+    private final AtomicInteger answeredTurn = new AtomicInteger(0);
+    private volatile long deadline;
+
+    private volatile Fallback fallback = new Fallback(0, 1);
+
+    private Thread thread;
+
+    /**
+     * 启动守护线程(整局只调用一次)
+     */
+    public void start() {
+        thread = new Thread(this, "watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 上一回合已输出、新回合尚未开始计时
+     */
+    public boolean isIdle() {
+        return answeredTurn.get() == armedTurn;
+    }
+
+    /**
+     * 新回合开始计时，budgetMillis 后强制输出；返回新回合号
+     */
+    public synchronized int arm(long budgetMillis) {
+        int turn = answeredTurn.get() + 1;
+        // 还没读到 requiredActionsCount，先沿用上回合的生物体数量
+        fallback = new Fallback(turn, fallback.lines.length());
+        deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        armedTurn = turn; // 最后写，保证读到它时 deadline 与 fallback 已更新
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        return turn;
+    }
+
+    /**
+     * 第 turn 回合需要输出 count 条指令，先全部置为 WAIT
+     */
+    public synchronized void expect(int turn, int count) {
+        if (fallback.turn == turn) {
+            fallback = new Fallback(turn, Math.max(1, count));
+        }
+    }
+
+    /**
+     * 更新第 turn 回合第 index 个生物体的保底指令；字符串在这里生成，超时路径不再分配
+     */
+    public void offer(int turn, int index, Action action) {
+        Fallback f = fallback;
+        if (f.turn == turn && index < f.lines.length()) {
+            f.lines.set(index, action.toString());
+        }
+    }
+
+    /**
+     * 搜索循环里廉价检查：第 turn 回合是否已输出(已输出就不必再搜)
+     */
+    public boolean shouldStop(int turn) {
+        return answeredTurn.get() >= turn;
+    }
+
+    /**
+     * 输出第 turn 回合的指令(可多行)；若该回合已输出过则返回 false
+     */
+    public boolean answer(int turn, String command) {
+        if (!claim(turn)) {
+            return false;
+        }
+        System.out.println(command);
+        System.out.flush();
+        return true;
+    }
+
+    private boolean claim(int turn) {
+        return answeredTurn.compareAndSet(turn - 1, turn);
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            int turn = armedTurn;
+            if (answeredTurn.get() == turn) {
+                LockSupport.park(this);
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+            if (!claim(turn)) {
+                continue;
+            }
+            // 输出前裁判不会发下一回合输入，fallback 此时仍属于本回合
+            Fallback f = fallback;
+            int count = f.lines.length();
+            for (int i = 0; i < count; i++) {
+                System.out.println(f.lines.get(i));
+            }
+            System.out.flush();
+            System.err.println("Watchdog: timeout, sent " + count + " fallback line(s)");
+        }
+    }
+}